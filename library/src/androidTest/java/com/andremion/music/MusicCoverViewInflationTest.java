@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2016 André Mion
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andremion.music;
+
+import android.content.Context;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.widget.FrameLayout;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the animators and transitions are only created on first use,
+ * and logs the construction time and retained heap of one cover versus many.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MusicCoverViewInflationTest {
+
+    private static final String TAG = MusicCoverViewInflationTest.class.getSimpleName();
+    private static final int MANY = 100;
+
+    private static final String[] LAZY_FIELDS = {
+            "mStartRotateAnimator", "mEndRotateAnimator", "mCircleToRectTransition", "mRectToCircleTransition"
+    };
+
+    @Test
+    public void lazyFields_areNullUntilUsed() {
+        final MusicCoverView view = onMainSync(new Creator<MusicCoverView>() {
+            @Override
+            public MusicCoverView create() {
+                MusicCoverView view = new MusicCoverView(getContext());
+                new FrameLayout(getContext()).addView(view);
+                return view;
+            }
+        });
+        assertCreated(view, false, false, false, false);
+
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                view.morph(); // From rectangle to circle
+            }
+        });
+        assertCreated(view, false, false, false, true);
+
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                view.setShape(MusicCoverView.SHAPE_CIRCLE);
+                view.morph(); // From circle to rectangle
+            }
+        });
+        assertCreated(view, false, false, true, true);
+
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                view.start();
+            }
+        });
+        assertCreated(view, true, false, true, true);
+
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                view.stop();
+            }
+        });
+        assertCreated(view, true, true, true, true);
+    }
+
+    @Test
+    public void inflation_oneVersusMany() {
+        final Sample[] samples = new Sample[2];
+        final long[] forcedHeap = new long[1];
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                // Warm up class loading and resources so they don't count for the first cover
+                new MusicCoverView(getContext());
+
+                samples[0] = inflate(1);
+                samples[1] = inflate(MANY);
+
+                // What the lazy creation saves per cover that is never played
+                long before = usedHeap();
+                for (MusicCoverView view : samples[1].views) {
+                    new FrameLayout(getContext()).addView(view);
+                    view.morph(); // Creates the rectangle to circle transition
+                    view.setShape(MusicCoverView.SHAPE_CIRCLE);
+                    view.morph(); // Creates the circle to rectangle transition
+                    view.start(); // Creates the start rotate animator
+                    view.stop(); // Creates the end rotate animator
+                }
+                forcedHeap[0] = usedHeap() - before;
+            }
+        });
+
+        Sample one = samples[0];
+        Sample many = samples[1];
+        Log.i(TAG, "1 cover: " + one);
+        Log.i(TAG, MANY + " covers: " + many + ", per cover: " + many.perView(MANY));
+        Log.i(TAG, "Animators and transitions for " + MANY + " covers: " + forcedHeap[0] + " bytes, per cover: "
+                + forcedHeap[0] / MANY + " bytes");
+
+        // Make sure the forced heap really accounts for all the lazy objects
+        for (MusicCoverView view : many.views) {
+            assertCreated(view, true, true, true, true);
+        }
+    }
+
+    private Sample inflate(int count) {
+        Sample sample = new Sample();
+        sample.views = new MusicCoverView[count];
+        final long heapBefore = usedHeap();
+        final long nativeBefore = Debug.getNativeHeapAllocatedSize();
+        final long start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < count; i++) {
+            sample.views[i] = new MusicCoverView(getContext());
+        }
+        sample.nanos = SystemClock.elapsedRealtimeNanos() - start;
+        sample.heapBytes = usedHeap() - heapBefore;
+        sample.nativeBytes = Debug.getNativeHeapAllocatedSize() - nativeBefore;
+        return sample;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        runtime.runFinalization();
+        runtime.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void runOnMainSync(Runnable runnable) {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+    }
+
+    private static <T> T onMainSync(final Creator<T> creator) {
+        final List<T> result = new ArrayList<>(1);
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                result.add(creator.create());
+            }
+        });
+        return result.get(0);
+    }
+
+    /**
+     * Assert, from the test thread, which of the {@link #LAZY_FIELDS} were created
+     */
+    private static void assertCreated(MusicCoverView view, boolean... created) {
+        for (int i = 0; i < LAZY_FIELDS.length; i++) {
+            assertEquals(LAZY_FIELDS[i], created[i], getField(view, LAZY_FIELDS[i]) != null);
+        }
+    }
+
+    private static Context getContext() {
+        return InstrumentationRegistry.getTargetContext();
+    }
+
+    private static Object getField(MusicCoverView view, String name) {
+        try {
+            Field field = MusicCoverView.class.getDeclaredField(name);
+            field.setAccessible(true);
+            return field.get(view);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private interface Creator<T> {
+        T create();
+    }
+
+    private static class Sample {
+        private MusicCoverView[] views;
+        private long nanos;
+        private long heapBytes;
+        private long nativeBytes;
+
+        private String perView(int count) {
+            return "time=" + nanos / count / 1000 + "us, heap=" + heapBytes / count + " bytes, native="
+                    + nativeBytes / count + " bytes";
+        }
+
+        @Override
+        public String toString() {
+            return "time=" + nanos / 1000 + "us, heap=" + heapBytes + " bytes, native=" + nativeBytes + " bytes";
+        }
+    }
+
+}
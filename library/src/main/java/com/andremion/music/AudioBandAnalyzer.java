@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2016 André Mion
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andremion.music;
+
+/**
+ * Turns audio into logarithmically spaced band magnitudes in the range [0, 1],
+ * ready to be offered to an {@link AudioSampleBuffer}.
+ * <p>
+ * All the work arrays are allocated up front, so it can be called for every captured frame
+ * from the audio thread. An instance is not thread safe and should be used by the producer only.
+ */
+public class AudioBandAnalyzer {
+
+    private static final float MIN_DB = -60;
+    private static final float PCM_16_SCALE = 1f / 32768;
+    private static final float FFT_8_SCALE = 1f / 128;
+
+    private final int mFftSize;
+    private final int mBandCount;
+    private final int[] mBandStart;
+    private final int[] mBitReverse;
+    private final float[] mCos;
+    private final float[] mSin;
+    private final float[] mWindow;
+    private final float[] mReal;
+    private final float[] mImag;
+    private final float[] mMagnitudes;
+
+    /**
+     * @param fftSize   The number of samples per frame, a power of two. For
+     *                  {@link #analyzeFft(byte[], float[])} it must match the capture size.
+     * @param bandCount The number of bands to produce
+     */
+    public AudioBandAnalyzer(int fftSize, int bandCount) {
+        if (fftSize < 4 || Integer.bitCount(fftSize) != 1) {
+            throw new IllegalArgumentException("fftSize must be a power of two");
+        }
+        final int binCount = fftSize / 2;
+        if (bandCount <= 0 || bandCount > binCount - 1) {
+            throw new IllegalArgumentException("bandCount must be between 1 and " + (binCount - 1));
+        }
+        mFftSize = fftSize;
+        mBandCount = bandCount;
+
+        mBitReverse = new int[fftSize];
+        final int bits = Integer.numberOfTrailingZeros(fftSize);
+        for (int i = 0; i < fftSize; i++) {
+            mBitReverse[i] = Integer.reverse(i) >>> (Integer.SIZE - bits);
+        }
+
+        mCos = new float[binCount];
+        mSin = new float[binCount];
+        for (int i = 0; i < binCount; i++) {
+            double angle = -2 * Math.PI * i / fftSize;
+            mCos[i] = (float) Math.cos(angle);
+            mSin[i] = (float) Math.sin(angle);
+        }
+
+        // Hann window
+        mWindow = new float[fftSize];
+        for (int i = 0; i < fftSize; i++) {
+            mWindow[i] = (float) (0.5 - 0.5 * Math.cos(2 * Math.PI * i / (fftSize - 1)));
+        }
+
+        // Split bins 1 until binCount (DC excluded) in log spaced bands, at least one bin each
+        mBandStart = new int[bandCount + 1];
+        mBandStart[0] = 1;
+        for (int i = 1; i <= bandCount; i++) {
+            int start = (int) Math.round(Math.pow(binCount, i / (double) bandCount));
+            mBandStart[i] = Math.min(binCount, Math.max(start, mBandStart[i - 1] + 1));
+        }
+        // Make sure the last bands are not empty when rounding pushed them to the end
+        for (int i = bandCount - 1; i >= 0; i--) {
+            mBandStart[i] = Math.min(mBandStart[i], mBandStart[i + 1] - 1);
+        }
+
+        mReal = new float[fftSize];
+        mImag = new float[fftSize];
+        mMagnitudes = new float[binCount];
+    }
+
+    public int getFftSize() {
+        return mFftSize;
+    }
+
+    public int getBandCount() {
+        return mBandCount;
+    }
+
+    /**
+     * Analyze 16 bit mono PCM samples
+     *
+     * @param pcm    The samples
+     * @param offset Where the {@link #getFftSize()} samples of this frame start
+     * @param bands  Receives the {@link #getBandCount()} band magnitudes
+     */
+    public void analyzePcm(short[] pcm, int offset, float[] bands) {
+        for (int i = 0; i < mFftSize; i++) {
+            final int j = mBitReverse[i];
+            mReal[j] = pcm[offset + i] * PCM_16_SCALE * mWindow[i];
+            mImag[j] = 0;
+        }
+        transform();
+        // A full scale sine has a peak magnitude of fftSize / 4 through the Hann window
+        final float scale = 4f / mFftSize;
+        for (int i = 0; i < mMagnitudes.length; i++) {
+            mMagnitudes[i] = (float) Math.sqrt(mReal[i] * mReal[i] + mImag[i] * mImag[i]) * scale;
+        }
+        toBands(bands);
+    }
+
+    /**
+     * Analyze the output of {@code android.media.audiofx.Visualizer#getFft(byte[])}
+     *
+     * @param fft   The {@link #getFftSize()} bytes as returned by the Visualizer
+     * @param bands Receives the {@link #getBandCount()} band magnitudes
+     */
+    public void analyzeFft(byte[] fft, float[] bands) {
+        mMagnitudes[0] = Math.abs(fft[0]) * FFT_8_SCALE;
+        for (int i = 1; i < mMagnitudes.length; i++) {
+            final int re = fft[2 * i];
+            final int im = fft[2 * i + 1];
+            mMagnitudes[i] = (float) Math.sqrt(re * re + im * im) * FFT_8_SCALE;
+        }
+        toBands(bands);
+    }
+
+    /**
+     * In place iterative radix-2 FFT over the bit reversed {@link #mReal} and {@link #mImag}
+     */
+    private void transform() {
+        for (int size = 2; size <= mFftSize; size <<= 1) {
+            final int half = size / 2;
+            final int step = mFftSize / size;
+            for (int start = 0; start < mFftSize; start += size) {
+                for (int k = 0; k < half; k++) {
+                    final int even = start + k;
+                    final int odd = even + half;
+                    final float cos = mCos[k * step];
+                    final float sin = mSin[k * step];
+                    final float re = mReal[odd] * cos - mImag[odd] * sin;
+                    final float im = mReal[odd] * sin + mImag[odd] * cos;
+                    mReal[odd] = mReal[even] - re;
+                    mImag[odd] = mImag[even] - im;
+                    mReal[even] += re;
+                    mImag[even] += im;
+                }
+            }
+        }
+    }
+
+    /**
+     * Take the peak of each band and map it from decibels to [0, 1]
+     */
+    private void toBands(float[] bands) {
+        for (int band = 0; band < mBandCount; band++) {
+            float peak = 0;
+            for (int i = mBandStart[band]; i < mBandStart[band + 1]; i++) {
+                peak = Math.max(peak, mMagnitudes[i]);
+            }
+            float level = 0;
+            if (peak > 0) {
+                final float db = (float) (20 * Math.log10(peak));
+                level = Math.max(0, Math.min(1, (db - MIN_DB) / -MIN_DB));
+            }
+            bands[band] = level;
+        }
+    }
+
+}
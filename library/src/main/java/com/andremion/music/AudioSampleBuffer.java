@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2016 André Mion
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andremion.music;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free single-producer/single-consumer ring buffer of band magnitude frames.
+ * <p>
+ * The audio thread calls {@link #offer(float[])} and the UI thread calls {@link #pollLatest(float[])}.
+ * Neither side ever blocks or allocates. When the buffer is full the new frame is dropped.
+ */
+public class AudioSampleBuffer {
+
+    private final int mBandCount;
+    private final int mMask;
+    private final float[] mFrames;
+
+    // Index of the next frame to read. Only written by the consumer.
+    private final AtomicLong mHead = new AtomicLong();
+    // Index of the next frame to write. Only written by the producer.
+    private final AtomicLong mTail = new AtomicLong();
+
+    /**
+     * @param bandCount The number of magnitudes in each frame
+     * @param capacity  The number of frames the buffer can hold, rounded up to a power of two
+     */
+    public AudioSampleBuffer(int bandCount, int capacity) {
+        if (bandCount <= 0) {
+            throw new IllegalArgumentException("bandCount must be positive");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        mBandCount = bandCount;
+        mMask = size - 1;
+        mFrames = new float[size * bandCount];
+    }
+
+    /**
+     * Return the number of magnitudes in each frame
+     */
+    public int getBandCount() {
+        return mBandCount;
+    }
+
+    /**
+     * Add a frame to the buffer. Must only be called from the producer thread.
+     *
+     * @param bands The band magnitudes, at least {@link #getBandCount()} long
+     * @return false if the buffer was full and the frame was dropped
+     */
+    public boolean offer(float[] bands) {
+        final long tail = mTail.get();
+        if (tail - mHead.get() > mMask) {
+            return false;
+        }
+        System.arraycopy(bands, 0, mFrames, (int) (tail & mMask) * mBandCount, mBandCount);
+        mTail.lazySet(tail + 1);
+        return true;
+    }
+
+    /**
+     * Copy the most recent frame and discard the older ones. Must only be called from the consumer thread.
+     *
+     * @param out Receives the band magnitudes, at least {@link #getBandCount()} long
+     * @return false if there was no new frame and {@code out} was left untouched
+     */
+    public boolean pollLatest(float[] out) {
+        final long head = mHead.get();
+        final long tail = mTail.get();
+        if (head == tail) {
+            return false;
+        }
+        System.arraycopy(mFrames, (int) ((tail - 1) & mMask) * mBandCount, out, 0, mBandCount);
+        mHead.lazySet(tail);
+        return true;
+    }
+
+    /**
+     * Return if there is no new frame, without consuming any. Must only be called from the consumer thread.
+     */
+    public boolean isEmpty() {
+        return mHead.get() == mTail.get();
+    }
+
+}
@@ -19,13 +19,17 @@ package com.andremion.music;
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
 import android.animation.ObjectAnimator;
+import android.animation.TimeInterpolator;
 import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
 import android.graphics.drawable.Animatable;
 import android.os.Build;
 import android.os.Parcel;
@@ -34,6 +38,7 @@ import android.support.annotation.ColorInt;
 import android.support.annotation.IntDef;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.v4.os.ParcelableCompat;
 import android.support.v4.os.ParcelableCompatCreatorCallbacks;
 import android.support.v4.view.AbsSavedState;
@@ -71,11 +76,17 @@ public class MusicCoverView extends ImageView implements Animatable {
     private static final float HALF_ANGLE = FULL_ANGLE / 2;
     private static final int DURATION = 2500;
     private static final float DURATION_PER_DEGREES = DURATION / FULL_ANGLE;
+    private static final int MORPH_DURATION = 300; // Same as the default transition duration
+    private static final long NO_MORPH = -1;
 
-    private final ValueAnimator mStartRotateAnimator;
-    private final ValueAnimator mEndRotateAnimator;
-    private final Transition mCircleToRectTransition;
-    private final Transition mRectToCircleTransition;
+    // Stateless, so it can be shared by all instances
+    private static final TimeInterpolator LINEAR_INTERPOLATOR = new LinearInterpolator();
+
+    // Created on first use, since most covers are never rotated or morphed
+    private ValueAnimator mStartRotateAnimator;
+    private ValueAnimator mEndRotateAnimator;
+    private Transition mCircleToRectTransition;
+    private Transition mRectToCircleTransition;
 
     private final float mTrackSize;
     private final Paint mTrackPaint;
@@ -84,9 +95,22 @@ public class MusicCoverView extends ImageView implements Animatable {
     private final Path mClipPath = new Path();
     private final Path mRectPath = new Path();
     private final Path mTrackPath = new Path();
+    private float[] mTrackRadii = new float[0];
+    private int mVisibleTrackCount;
+    private int mCircleTrackCount;
+    private final Rect mDirtyRect = new Rect();
+
+    private AudioSampleBuffer mAudioBuffer;
+    private float[] mAudioBands;
+    private Runnable mAudioPoll;
+    private boolean mIsAudioPollPosted;
+    private final TrackLevels mTrackLevels = new TrackLevels();
 
     private boolean mIsMorphing;
+    private ValueAnimator mMorphAnimator;
     private float mRadius = 0;
+    private long mResumeMorphPlayTime = NO_MORPH;
+    private long mResumeMorphDuration = MORPH_DURATION;
 
     private Callbacks mCallbacks;
     private int mShape;
@@ -124,77 +148,6 @@ public class MusicCoverView extends ImageView implements Animatable {
         mTrackPaint.setStyle(Paint.Style.STROKE);
         mTrackPaint.setStrokeWidth(TRACK_WIDTH * density);
 
-        mStartRotateAnimator = ObjectAnimator.ofFloat(this, View.ROTATION, 0, FULL_ANGLE);
-        mStartRotateAnimator.setInterpolator(new LinearInterpolator());
-        mStartRotateAnimator.setRepeatCount(Animation.INFINITE);
-        mStartRotateAnimator.setDuration(DURATION);
-        mStartRotateAnimator.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                float current = getRotation();
-                float target = current > HALF_ANGLE ? FULL_ANGLE : 0; // Choose the shortest distance to 0 rotation
-                float diff = target > 0 ? FULL_ANGLE - current : current;
-                mEndRotateAnimator.setFloatValues(current, target);
-                mEndRotateAnimator.setDuration((int) (DURATION_PER_DEGREES * diff));
-                mEndRotateAnimator.start();
-            }
-        });
-
-        mEndRotateAnimator = ObjectAnimator.ofFloat(MusicCoverView.this, View.ROTATION, 0);
-        mEndRotateAnimator.setInterpolator(new LinearInterpolator());
-        mEndRotateAnimator.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                setRotation(0);
-                // isRunning method return true if it's called form here.
-                // So we need call from post method to get the right returning.
-                post(new Runnable() {
-                    @Override
-                    public void run() {
-                        if (mCallbacks != null) {
-                            mCallbacks.onRotateEnd(MusicCoverView.this);
-                        }
-                    }
-                });
-            }
-        });
-
-        mRectToCircleTransition = new MorphTransition(SHAPE_RECTANGLE);
-        mRectToCircleTransition.addTarget(this);
-        mRectToCircleTransition.addListener(new TransitionAdapter() {
-            @Override
-            public void onTransitionStart(Transition transition) {
-                mIsMorphing = true;
-            }
-
-            @Override
-            public void onTransitionEnd(Transition transition) {
-                mIsMorphing = false;
-                mShape = SHAPE_CIRCLE;
-                if (mCallbacks != null) {
-                    mCallbacks.onMorphEnd(MusicCoverView.this);
-                }
-            }
-        });
-
-        mCircleToRectTransition = new MorphTransition(SHAPE_CIRCLE);
-        mCircleToRectTransition.addTarget(this);
-        mCircleToRectTransition.addListener(new TransitionAdapter() {
-            @Override
-            public void onTransitionStart(Transition transition) {
-                mIsMorphing = true;
-            }
-
-            @Override
-            public void onTransitionEnd(Transition transition) {
-                mIsMorphing = false;
-                mShape = SHAPE_RECTANGLE;
-                if (mCallbacks != null) {
-                    mCallbacks.onMorphEnd(MusicCoverView.this);
-                }
-            }
-        });
-
         TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.MusicCoverView);
         @Shape int shape = a.getInt(R.styleable.MusicCoverView_shape, SHAPE_RECTANGLE);
         @ColorInt int trackColor = a.getColor(R.styleable.MusicCoverView_trackColor, TRACK_COLOR);
@@ -254,29 +207,130 @@ public class MusicCoverView extends ImageView implements Animatable {
         return mTrackPaint.getColor();
     }
 
+    /**
+     * Make the music tracks pulse with the band magnitudes offered to the given buffer.
+     * The tracks are redrawn while they are audible. Otherwise the buffer is only checked on
+     * each frame, without redrawing, until new data arrives.
+     *
+     * @param audioBuffer The buffer fed by the audio thread, or null to stop pulsing
+     */
+    public void setAudioBuffer(@Nullable AudioSampleBuffer audioBuffer) {
+        if (audioBuffer != mAudioBuffer) {
+            mAudioBuffer = audioBuffer;
+            mAudioBands = audioBuffer != null ? new float[audioBuffer.getBandCount()] : null;
+            mTrackLevels.setCounts(mCircleTrackCount, audioBuffer != null ? audioBuffer.getBandCount() : 0);
+            invalidate();
+        }
+    }
+
+    /**
+     * Check the audio buffer on the next frame and redraw the tracks only if it has new data
+     */
+    private void scheduleAudioPoll() {
+        if (mIsAudioPollPosted) {
+            return;
+        }
+        if (mAudioPoll == null) {
+            mAudioPoll = new Runnable() {
+                @Override
+                public void run() {
+                    mIsAudioPollPosted = false;
+                    if (mAudioBuffer == null || !isShown()) {
+                        return;
+                    }
+                    if (mAudioBuffer.isEmpty()) {
+                        scheduleAudioPoll();
+                    } else {
+                        invalidateTracks();
+                    }
+                }
+            };
+        }
+        mIsAudioPollPosted = true;
+        postOnAnimation(mAudioPoll);
+    }
+
+    private void stopAudioPoll() {
+        if (mIsAudioPollPosted) {
+            removeCallbacks(mAudioPoll);
+            mIsAudioPollPosted = false;
+        }
+    }
+
+    @Override
+    protected void onVisibilityChanged(@NonNull View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        if (mAudioBuffer == null) {
+            return;
+        }
+        if (isShown()) {
+            invalidateTracks();
+        } else {
+            stopAudioPoll();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        stopAudioPoll();
+        super.onDetachedFromWindow();
+    }
+
     float getTransitionRadius() {
         return mRadius;
     }
 
     void setTransitionRadius(float radius) {
         if (radius != mRadius) {
+            // Only the ring between the old and the new clip circle changes
+            setCircleBounds(mDirtyRect, Math.max(radius, mRadius));
             mRadius = radius;
             resetPaths();
-            invalidate();
+            invalidate(mDirtyRect);
         }
     }
 
+    /**
+     * Set the animator driving the radius of the running morph, so its progress can be saved
+     */
+    void setTransitionAnimator(ValueAnimator animator) {
+        mMorphAnimator = animator;
+    }
+
     int getTransitionAlpha() {
+        if (mTrackAlpha == ALPHA_TRANSPARENT) {
+            return ALPHA_TRANSPARENT;
+        }
         return mTrackPaint.getAlpha() * ALPHA_OPAQUE / mTrackAlpha;
     }
 
     void setTransitionAlpha(@IntRange(from = ALPHA_TRANSPARENT, to = ALPHA_OPAQUE) int alpha) {
         if (alpha != getTransitionAlpha()) {
             mTrackPaint.setAlpha(alpha * mTrackAlpha / ALPHA_OPAQUE);
-            invalidate();
+            invalidateTracks();
+        }
+    }
+
+    private void invalidateTracks() {
+        if (mVisibleTrackCount > 0) {
+            setCircleBounds(mDirtyRect, mTrackRadii[mVisibleTrackCount - 1]);
+            invalidate(mDirtyRect);
         }
     }
 
+    /**
+     * Set the bounds of a centered circle, including the track stroke, clamped to the view
+     */
+    private void setCircleBounds(Rect rect, float radius) {
+        final float extent = radius + mTrackPaint.getStrokeWidth();
+        final float centerX = getWidth() / 2f;
+        final float centerY = getHeight() / 2f;
+        rect.set(Math.max(0, (int) Math.floor(centerX - extent)),
+                Math.max(0, (int) Math.floor(centerY - extent)),
+                Math.min(getWidth(), (int) Math.ceil(centerX + extent)),
+                Math.min(getHeight(), (int) Math.ceil(centerY + extent)));
+    }
+
     float getMinRadius() {
         final int w = getWidth();
         final int h = getHeight();
@@ -294,6 +348,10 @@ public class MusicCoverView extends ImageView implements Animatable {
         super.onSizeChanged(w, h, oldw, oldh);
         calculateRadius();
         resetPaths();
+        if (mResumeMorphPlayTime != NO_MORPH) {
+            // Still in layout, so the first frame is drawn with the resumed values
+            resumeMorph();
+        }
     }
 
     private void calculateRadius() {
@@ -325,10 +383,29 @@ public class MusicCoverView extends ImageView implements Animatable {
         final int trackRadius = Math.min(w, h);
         final int trackCount = (int) (trackRadius / mTrackSize);
 
+        if (mTrackRadii.length != Math.max(0, trackCount - 3)) {
+            mTrackRadii = new float[Math.max(0, trackCount - 3)];
+        }
+
+        // Tracks out of the clip circle would be clipped away, so they are neither added nor drawn
+        final float trackHalfWidth = mTrackPaint.getStrokeWidth() / 2;
+        final float minRadius = getMinRadius();
+        mVisibleTrackCount = 0;
+        mCircleTrackCount = 0;
         mTrackPath.reset();
         for (int i = 3; i < trackCount; i++) {
-            mTrackPath.addCircle(centerX, centerY, trackRadius * (i / (float) trackCount), Path.Direction.CW);
+            final float radius = trackRadius * (i / (float) trackCount);
+            mTrackRadii[i - 3] = radius;
+            if (radius - trackHalfWidth < mRadius) {
+                mTrackPath.addCircle(centerX, centerY, radius, Path.Direction.CW);
+                mVisibleTrackCount++;
+            }
+            if (radius - trackHalfWidth < minRadius) {
+                mCircleTrackCount++;
+            }
         }
+        // The bands are spread over the tracks seen when it is a circle
+        mTrackLevels.setCounts(mCircleTrackCount, mAudioBands != null ? mAudioBands.length : 0);
 
         mRectPath.reset();
         mRectPath.addRect(0, 0, w, h, Path.Direction.CW);
@@ -336,9 +413,46 @@ public class MusicCoverView extends ImageView implements Animatable {
 
     @Override
     protected void onDraw(Canvas canvas) {
-        canvas.clipPath(mClipPath);
+        // The clip circle covers the whole view when it is a rectangle
+        if (mRadius < getMaxRadius()) {
+            canvas.clipPath(mClipPath);
+        }
         super.onDraw(canvas);
-        canvas.drawPath(mTrackPath, mTrackPaint);
+        // The tracks are fully transparent when it is a rectangle
+        if (mTrackPaint.getAlpha() == ALPHA_TRANSPARENT || mVisibleTrackCount == 0) {
+            return;
+        }
+        if (mAudioBuffer == null) {
+            canvas.drawPath(mTrackPath, mTrackPaint);
+        } else {
+            drawAudioTracks(canvas);
+        }
+    }
+
+    private void drawAudioTracks(Canvas canvas) {
+        final int alpha = mTrackPaint.getAlpha();
+        final boolean audible = mTrackLevels.update(mAudioBuffer.pollLatest(mAudioBands) ? mAudioBands : null);
+
+        // Each track goes from the track color alpha up to opaque with its level
+        final int maxAlpha = getTransitionAlpha();
+        final float centerX = getWidth() / 2f;
+        final float centerY = getHeight() / 2f;
+        final int levelCount = mTrackLevels.getTrackCount();
+        for (int i = 0; i < mVisibleTrackCount; i++) {
+            final float level = i < levelCount ? mTrackLevels.get(i) : 0;
+            mTrackPaint.setAlpha(alpha + (int) ((maxAlpha - alpha) * level));
+            canvas.drawCircle(centerX, centerY, mTrackRadii[i], mTrackPaint);
+        }
+        mTrackPaint.setAlpha(alpha);
+
+        if (audible) {
+            // Keep reading the buffer on the next frame, redrawing only the tracks
+            setCircleBounds(mDirtyRect, mTrackRadii[mVisibleTrackCount - 1]);
+            postInvalidateOnAnimation(mDirtyRect.left, mDirtyRect.top, mDirtyRect.right, mDirtyRect.bottom);
+        } else {
+            // Silent or paused, so wait for new data without redrawing
+            scheduleAudioPoll();
+        }
     }
 
     @Override
@@ -362,6 +476,10 @@ public class MusicCoverView extends ImageView implements Animatable {
         if (mIsMorphing) {
             return;
         }
+        mResumeMorphPlayTime = NO_MORPH;
+        if (mRectToCircleTransition == null) {
+            mRectToCircleTransition = createMorphTransition(SHAPE_RECTANGLE);
+        }
         TransitionManager.beginDelayedTransition((ViewGroup) getParent(), mRectToCircleTransition);
         setScaleType(ScaleType.CENTER_INSIDE);
     }
@@ -370,10 +488,140 @@ public class MusicCoverView extends ImageView implements Animatable {
         if (mIsMorphing) {
             return;
         }
+        mResumeMorphPlayTime = NO_MORPH;
+        if (mCircleToRectTransition == null) {
+            mCircleToRectTransition = createMorphTransition(SHAPE_CIRCLE);
+        }
         TransitionManager.beginDelayedTransition((ViewGroup) getParent(), mCircleToRectTransition);
         setScaleType(ScaleType.CENTER_CROP);
     }
 
+    /**
+     * Continue a morph restored from {@link SavedState} at the point it was interrupted.
+     * <p>
+     * The radius, track alpha and image matrix are animated directly, on the same curve as the
+     * morph transition, so the values are applied right away instead of being captured by a new scene.
+     */
+    private void resumeMorph() {
+        final long playTime = mResumeMorphPlayTime;
+        final long duration = mResumeMorphDuration;
+        mResumeMorphPlayTime = NO_MORPH;
+        if (mIsMorphing) {
+            return;
+        }
+
+        final boolean toCircle = SHAPE_RECTANGLE == mShape;
+        final int endShape = toCircle ? SHAPE_CIRCLE : SHAPE_RECTANGLE;
+        final ScaleType startScaleType = toCircle ? ScaleType.CENTER_CROP : ScaleType.CENTER_INSIDE;
+        final ScaleType endScaleType = toCircle ? ScaleType.CENTER_INSIDE : ScaleType.CENTER_CROP;
+        final float startRadius = toCircle ? getMaxRadius() : getMinRadius();
+        final float endRadius = toCircle ? getMinRadius() : getMaxRadius();
+        final int startAlpha = toCircle ? ALPHA_TRANSPARENT : ALPHA_OPAQUE;
+        final int endAlpha = toCircle ? ALPHA_OPAQUE : ALPHA_TRANSPARENT;
+
+        // Interpolate the image matrix between both scale types, like ChangeImageTransform does
+        final Matrix matrix = new Matrix();
+        final float[] startValues = new float[9];
+        final float[] endValues = new float[9];
+        final float[] values = new float[9];
+        final boolean animateMatrix = getImageMatrixValues(startScaleType, matrix, startValues)
+                && getImageMatrixValues(endScaleType, matrix, endValues);
+        setScaleType(animateMatrix ? ScaleType.MATRIX : endScaleType);
+
+        // Same duration and default interpolator as the interrupted morph
+        ValueAnimator animator = ValueAnimator.ofFloat(0, 1);
+        animator.setDuration(duration);
+        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                final float value = (float) animation.getAnimatedValue();
+                setTransitionRadius(startRadius + (endRadius - startRadius) * value);
+                setTransitionAlpha(startAlpha + (int) ((endAlpha - startAlpha) * value));
+                if (animateMatrix) {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = startValues[i] + (endValues[i] - startValues[i]) * value;
+                    }
+                    matrix.setValues(values);
+                    setImageMatrix(matrix);
+                }
+            }
+        });
+        animator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                mMorphAnimator = null;
+                mIsMorphing = false;
+                mShape = endShape;
+                setScaleType(endScaleType);
+                if (mCallbacks != null) {
+                    mCallbacks.onMorphEnd(MusicCoverView.this);
+                }
+            }
+        });
+
+        mIsMorphing = true;
+        mMorphAnimator = animator;
+        animator.start();
+        animator.setCurrentPlayTime(playTime);
+    }
+
+    /**
+     * Compute the matrix {@link ImageView} uses to draw the drawable with the given scale type
+     *
+     * @return false if there is no drawable with an intrinsic size to be scaled
+     */
+    private boolean getImageMatrixValues(ScaleType scaleType, Matrix matrix, float[] values) {
+        final Drawable drawable = getDrawable();
+        if (drawable == null || drawable.getIntrinsicWidth() <= 0 || drawable.getIntrinsicHeight() <= 0) {
+            return false;
+        }
+        final int dwidth = drawable.getIntrinsicWidth();
+        final int dheight = drawable.getIntrinsicHeight();
+        final int vwidth = getWidth() - getPaddingLeft() - getPaddingRight();
+        final int vheight = getHeight() - getPaddingTop() - getPaddingBottom();
+
+        float scale;
+        if (ScaleType.CENTER_CROP == scaleType) {
+            if (dwidth * vheight > vwidth * dheight) {
+                scale = vheight / (float) dheight;
+            } else {
+                scale = vwidth / (float) dwidth;
+            }
+        } else if (dwidth <= vwidth && dheight <= vheight) {
+            scale = 1;
+        } else {
+            scale = Math.min(vwidth / (float) dwidth, vheight / (float) dheight);
+        }
+        matrix.setScale(scale, scale);
+        matrix.postTranslate(Math.round((vwidth - dwidth * scale) * 0.5f),
+                Math.round((vheight - dheight * scale) * 0.5f));
+        matrix.getValues(values);
+        return true;
+    }
+
+    private Transition createMorphTransition(final int startShape) {
+        final int endShape = SHAPE_CIRCLE == startShape ? SHAPE_RECTANGLE : SHAPE_CIRCLE;
+        Transition transition = new MorphTransition(startShape);
+        transition.addTarget(this);
+        transition.addListener(new TransitionAdapter() {
+            @Override
+            public void onTransitionStart(Transition transition) {
+                mIsMorphing = true;
+            }
+
+            @Override
+            public void onTransitionEnd(Transition transition) {
+                mMorphAnimator = null;
+                mIsMorphing = false;
+                mShape = endShape;
+                if (mCallbacks != null) {
+                    mCallbacks.onMorphEnd(MusicCoverView.this);
+                }
+            }
+        });
+        return transition;
+    }
+
     /**
      * Start the rotate animation
      */
@@ -383,7 +631,7 @@ public class MusicCoverView extends ImageView implements Animatable {
             return;
         }
         if (!isRunning()) {
-            mStartRotateAnimator.start();
+            getStartRotateAnimator().start();
         }
     }
 
@@ -392,7 +640,7 @@ public class MusicCoverView extends ImageView implements Animatable {
      */
     @Override
     public void stop() {
-        if (mStartRotateAnimator.isRunning()) {
+        if (isRotating()) {
             mStartRotateAnimator.cancel();
         }
     }
@@ -402,7 +650,61 @@ public class MusicCoverView extends ImageView implements Animatable {
      */
     @Override
     public boolean isRunning() {
-        return mStartRotateAnimator.isRunning() || mEndRotateAnimator.isRunning() || mIsMorphing;
+        return isRotating() || (mEndRotateAnimator != null && mEndRotateAnimator.isRunning()) || mIsMorphing;
+    }
+
+    private boolean isRotating() {
+        return mStartRotateAnimator != null && mStartRotateAnimator.isRunning();
+    }
+
+    private ValueAnimator getStartRotateAnimator() {
+        if (mStartRotateAnimator == null) {
+            mStartRotateAnimator = ObjectAnimator.ofFloat(this, View.ROTATION, 0, FULL_ANGLE);
+            mStartRotateAnimator.setInterpolator(LINEAR_INTERPOLATOR);
+            mStartRotateAnimator.setRepeatCount(Animation.INFINITE);
+            mStartRotateAnimator.setDuration(DURATION);
+            mStartRotateAnimator.addListener(new AnimatorListenerAdapter() {
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    rotateToEnd();
+                }
+            });
+        }
+        return mStartRotateAnimator;
+    }
+
+    private ValueAnimator getEndRotateAnimator() {
+        if (mEndRotateAnimator == null) {
+            mEndRotateAnimator = ObjectAnimator.ofFloat(this, View.ROTATION, 0);
+            mEndRotateAnimator.setInterpolator(LINEAR_INTERPOLATOR);
+            mEndRotateAnimator.addListener(new AnimatorListenerAdapter() {
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    setRotation(0);
+                    // isRunning method return true if it's called form here.
+                    // So we need call from post method to get the right returning.
+                    post(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (mCallbacks != null) {
+                                mCallbacks.onRotateEnd(MusicCoverView.this);
+                            }
+                        }
+                    });
+                }
+            });
+        }
+        return mEndRotateAnimator;
+    }
+
+    private void rotateToEnd() {
+        float current = getRotation();
+        float target = current > HALF_ANGLE ? FULL_ANGLE : 0; // Choose the shortest distance to 0 rotation
+        float diff = target > 0 ? FULL_ANGLE - current : current;
+        ValueAnimator endRotateAnimator = getEndRotateAnimator();
+        endRotateAnimator.setFloatValues(current, target);
+        endRotateAnimator.setDuration((int) (DURATION_PER_DEGREES * diff));
+        endRotateAnimator.start();
     }
 
     private static class MorphTransition extends TransitionSet {
@@ -447,7 +749,21 @@ public class MusicCoverView extends ImageView implements Animatable {
         SavedState ss = new SavedState(superState);
         ss.shape = getShape();
         ss.trackColor = getTrackColor();
-        ss.isRotating = mStartRotateAnimator.isRunning();
+        ss.isRotating = isRotating();
+        ss.isStopping = mEndRotateAnimator != null && mEndRotateAnimator.isRunning();
+        ss.rotation = getRotation();
+        ss.isMorphing = mIsMorphing || mResumeMorphPlayTime != NO_MORPH;
+        if (mIsMorphing && mMorphAnimator != null) {
+            ss.morphDuration = mMorphAnimator.getDuration();
+            ss.morphPlayTime = Math.min(mMorphAnimator.getCurrentPlayTime(), ss.morphDuration);
+        } else if (mIsMorphing) {
+            ss.morphDuration = MORPH_DURATION;
+            ss.morphPlayTime = 0;
+        } else {
+            ss.morphDuration = mResumeMorphDuration;
+            ss.morphPlayTime = Math.max(0, mResumeMorphPlayTime);
+        }
+        ss.trackAlpha = getTransitionAlpha();
         return ss;
     }
 
@@ -457,8 +773,24 @@ public class MusicCoverView extends ImageView implements Animatable {
         super.onRestoreInstanceState(ss.getSuperState());
         setShape(ss.shape);
         setTrackColor(ss.trackColor);
+        setTransitionAlpha(ss.trackAlpha);
+        // Resumed as soon as the size is known, so the first frame matches the saved one
+        mResumeMorphPlayTime = ss.isMorphing ? ss.morphPlayTime : NO_MORPH;
+        mResumeMorphDuration = ss.morphDuration;
+        if (isLaidOut() && mResumeMorphPlayTime != NO_MORPH) {
+            resumeMorph();
+        }
+        // The rotation is only ours while rotating or stopping, otherwise it is left as the app set it
         if (ss.isRotating) {
+            setRotation(ss.rotation);
             start();
+            if (isRotating()) {
+                // Continue from the saved angle instead of from 0
+                mStartRotateAnimator.setCurrentPlayTime((long) (ss.rotation * DURATION_PER_DEGREES));
+            }
+        } else if (ss.isStopping) {
+            setRotation(ss.rotation);
+            rotateToEnd();
         }
     }
 
@@ -467,12 +799,24 @@ public class MusicCoverView extends ImageView implements Animatable {
         private int shape;
         private int trackColor;
         private boolean isRotating;
+        private boolean isStopping;
+        private float rotation;
+        private boolean isMorphing;
+        private long morphPlayTime;
+        private long morphDuration;
+        private int trackAlpha;
 
         private SavedState(Parcel in, ClassLoader loader) {
             super(in, loader);
             shape = in.readInt();
             trackColor = in.readInt();
             isRotating = (boolean) in.readValue(Boolean.class.getClassLoader());
+            isStopping = (boolean) in.readValue(Boolean.class.getClassLoader());
+            rotation = in.readFloat();
+            isMorphing = (boolean) in.readValue(Boolean.class.getClassLoader());
+            morphPlayTime = in.readLong();
+            morphDuration = in.readLong();
+            trackAlpha = in.readInt();
         }
 
         private SavedState(Parcelable superState) {
@@ -485,13 +829,22 @@ public class MusicCoverView extends ImageView implements Animatable {
             dest.writeInt(shape);
             dest.writeInt(trackColor);
             dest.writeValue(isRotating);
+            dest.writeValue(isStopping);
+            dest.writeFloat(rotation);
+            dest.writeValue(isMorphing);
+            dest.writeLong(morphPlayTime);
+            dest.writeLong(morphDuration);
+            dest.writeInt(trackAlpha);
         }
 
         @Override
         public String toString() {
             return MusicCoverView.class.getSimpleName() + "." + SavedState.class.getSimpleName() + "{"
                     + Integer.toHexString(System.identityHashCode(this))
-                    + " shape=" + shape + ", trackColor=" + trackColor + ", isRotating=" + isRotating + "}";
+                    + " shape=" + shape + ", trackColor=" + trackColor + ", isRotating=" + isRotating
+                    + ", isStopping=" + isStopping + ", rotation=" + rotation + ", isMorphing=" + isMorphing
+                    + ", morphPlayTime=" + morphPlayTime + ", morphDuration=" + morphDuration
+                    + ", trackAlpha=" + trackAlpha + "}";
         }
 
         public static final Parcelable.Creator<SavedState> CREATOR
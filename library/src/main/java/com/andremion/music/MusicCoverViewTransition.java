@@ -19,6 +19,7 @@ package com.andremion.music;
 import android.animation.Animator;
 import android.animation.AnimatorSet;
 import android.animation.ObjectAnimator;
+import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.transition.Transition;
@@ -131,7 +132,10 @@ public class MusicCoverViewTransition extends Transition {
         List<Animator> animatorList = new ArrayList<>();
 
         coverView.setTransitionRadius(startRadius);
-        animatorList.add(ObjectAnimator.ofFloat(coverView, RADIUS_PROPERTY, startRadius, endRadius));
+        ValueAnimator radiusAnimator = ObjectAnimator.ofFloat(coverView, RADIUS_PROPERTY, startRadius, endRadius);
+        // Let the view know how far the morph is when it has to save its state
+        coverView.setTransitionAnimator(radiusAnimator);
+        animatorList.add(radiusAnimator);
 
         coverView.setTransitionAlpha(startTrackAlpha);
         animatorList.add(ObjectAnimator.ofInt(coverView, ALPHA_PROPERTY, startTrackAlpha, endTrackAlpha));
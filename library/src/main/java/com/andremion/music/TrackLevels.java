@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2016 André Mion
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andremion.music;
+
+/**
+ * Maps band magnitudes to the music tracks, from the inner (lowest band) to the outer one (highest band),
+ * and smooths them over the frames so the tracks rise fast and fall slowly.
+ */
+class TrackLevels {
+
+    private static final float ATTACK = 0.6f;
+    private static final float RELEASE = 0.15f;
+    private static final float SILENCE = 0.01f;
+
+    private int mBandCount;
+    private int[] mTrackBands = new int[0];
+    private float[] mLevels = new float[0];
+
+    /**
+     * Update the mapping. Allocates, so it should not be called from the draw pass.
+     */
+    void setCounts(int trackCount, int bandCount) {
+        if (trackCount == mLevels.length && bandCount == mBandCount) {
+            return;
+        }
+        mBandCount = bandCount;
+        mLevels = new float[trackCount];
+        mTrackBands = new int[trackCount];
+        for (int i = 0; i < trackCount; i++) {
+            mTrackBands[i] = bandCount > 0 ? i * bandCount / trackCount : 0;
+        }
+    }
+
+    int getTrackCount() {
+        return mLevels.length;
+    }
+
+    /**
+     * Move the levels towards the given bands
+     *
+     * @param bands The band magnitudes, or null to let the levels decay
+     * @return true if any level is still audible
+     */
+    boolean update(float[] bands) {
+        boolean audible = false;
+        for (int i = 0; i < mLevels.length; i++) {
+            final float target = bands != null && mBandCount > 0 ? bands[mTrackBands[i]] : 0;
+            final float level = mLevels[i];
+            mLevels[i] = level + (target - level) * (target > level ? ATTACK : RELEASE);
+            if (mLevels[i] < SILENCE) {
+                mLevels[i] = 0;
+            } else {
+                audible = true;
+            }
+        }
+        return audible;
+    }
+
+    /**
+     * Return the level of the given track in the range [0, 1]
+     */
+    float get(int track) {
+        return mLevels[track];
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016 André Mion
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andremion.music;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AudioBandAnalyzerTest {
+
+    private static final int FFT_SIZE = 1024;
+    private static final int BAND_COUNT = 8;
+
+    @Test
+    public void analyzePcm_fullScaleSine_fillsOnlyItsBand() {
+        AudioBandAnalyzer analyzer = new AudioBandAnalyzer(FFT_SIZE, BAND_COUNT);
+        float[] bands = new float[BAND_COUNT];
+
+        // Bins are log spaced over 512, so bin 100 is in band 5 (bins 49 until 108)
+        analyzer.analyzePcm(sine(100, Short.MAX_VALUE), 0, bands);
+
+        for (int band = 0; band < BAND_COUNT; band++) {
+            assertEquals("band " + band, band == 5 ? 1 : 0, bands[band], 0.01);
+        }
+    }
+
+    @Test
+    public void analyzePcm_quieterSine_givesLowerLevel() {
+        AudioBandAnalyzer analyzer = new AudioBandAnalyzer(FFT_SIZE, BAND_COUNT);
+        float[] bands = new float[BAND_COUNT];
+
+        // -30 dB is half of the 60 dB range
+        analyzer.analyzePcm(sine(100, (int) (Short.MAX_VALUE * Math.pow(10, -30 / 20.0))), 0, bands);
+
+        assertEquals(0.5, bands[5], 0.01);
+    }
+
+    @Test
+    public void analyzePcm_silence_givesZeros() {
+        AudioBandAnalyzer analyzer = new AudioBandAnalyzer(FFT_SIZE, BAND_COUNT);
+        float[] bands = new float[BAND_COUNT];
+
+        analyzer.analyzePcm(new short[FFT_SIZE], 0, bands);
+
+        for (int band = 0; band < BAND_COUNT; band++) {
+            assertEquals("band " + band, 0, bands[band], 0);
+        }
+    }
+
+    @Test
+    public void analyzeFft_visualizerBin_fillsOnlyItsBand() {
+        AudioBandAnalyzer analyzer = new AudioBandAnalyzer(FFT_SIZE, BAND_COUNT);
+        float[] bands = new float[BAND_COUNT];
+        byte[] fft = new byte[FFT_SIZE];
+        fft[2 * 100] = Byte.MAX_VALUE; // Real part of bin 100
+
+        analyzer.analyzeFft(fft, bands);
+
+        for (int band = 0; band < BAND_COUNT; band++) {
+            assertEquals("band " + band, band == 5 ? 1 : 0, bands[band], 0.01);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_whenFftSizeIsNotPowerOfTwo_throws() {
+        new AudioBandAnalyzer(1000, BAND_COUNT);
+    }
+
+    private static short[] sine(int bin, int amplitude) {
+        short[] pcm = new short[FFT_SIZE];
+        for (int i = 0; i < FFT_SIZE; i++) {
+            pcm[i] = (short) (amplitude * Math.sin(2 * Math.PI * bin * i / FFT_SIZE));
+        }
+        return pcm;
+    }
+
+}
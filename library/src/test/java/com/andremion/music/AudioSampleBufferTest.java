@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2016 André Mion
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andremion.music;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AudioSampleBufferTest {
+
+    private static final int BAND_COUNT = 4;
+
+    @Test
+    public void pollLatest_whenEmpty_leavesOutUntouched() {
+        AudioSampleBuffer buffer = new AudioSampleBuffer(BAND_COUNT, 4);
+        float[] out = frame(-1);
+
+        assertTrue(buffer.isEmpty());
+        assertFalse(buffer.pollLatest(out));
+        assertArrayEquals(frame(-1), out, 0);
+    }
+
+    @Test
+    public void pollLatest_discardsOlderFrames() {
+        AudioSampleBuffer buffer = new AudioSampleBuffer(BAND_COUNT, 4);
+        buffer.offer(frame(1));
+        buffer.offer(frame(2));
+        buffer.offer(frame(3));
+        float[] out = new float[BAND_COUNT];
+
+        assertTrue(buffer.pollLatest(out));
+        assertArrayEquals(frame(3), out, 0);
+        assertTrue(buffer.isEmpty());
+        assertFalse(buffer.pollLatest(out));
+    }
+
+    @Test
+    public void offer_whenFull_dropsNewFrame() {
+        AudioSampleBuffer buffer = new AudioSampleBuffer(BAND_COUNT, 3); // Rounded up to 4
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(buffer.offer(frame(i)));
+        }
+        assertFalse(buffer.offer(frame(5)));
+
+        float[] out = new float[BAND_COUNT];
+        assertTrue(buffer.pollLatest(out));
+        assertArrayEquals(frame(4), out, 0);
+        assertTrue(buffer.offer(frame(6)));
+    }
+
+    @Test
+    public void offer_wrapsAround() {
+        AudioSampleBuffer buffer = new AudioSampleBuffer(BAND_COUNT, 2);
+        float[] out = new float[BAND_COUNT];
+        for (int i = 0; i < 10; i++) {
+            assertTrue(buffer.offer(frame(i)));
+            assertTrue(buffer.offer(frame(i + 100)));
+            assertTrue(buffer.pollLatest(out));
+            assertArrayEquals(frame(i + 100), out, 0);
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void producerAndConsumer_neverSeeTornOrOutOfOrderFrames() throws InterruptedException {
+        final int frameCount = 100000;
+        final AudioSampleBuffer buffer = new AudioSampleBuffer(BAND_COUNT, 8);
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 1; i <= frameCount; ) {
+                    if (buffer.offer(frame(i))) {
+                        i++;
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            }
+        });
+        producer.start();
+
+        float[] out = new float[BAND_COUNT];
+        float last = 0;
+        while (last < frameCount) {
+            if (buffer.pollLatest(out)) {
+                for (int band = 1; band < BAND_COUNT; band++) {
+                    assertEquals("Torn frame", out[0], out[band], 0);
+                }
+                assertTrue("Out of order frame", out[0] > last);
+                last = out[0];
+            } else {
+                Thread.yield();
+            }
+        }
+        producer.join();
+        assertEquals(frameCount, last, 0);
+    }
+
+    private static float[] frame(float value) {
+        float[] frame = new float[BAND_COUNT];
+        for (int i = 0; i < BAND_COUNT; i++) {
+            frame[i] = value;
+        }
+        return frame;
+    }
+
+}
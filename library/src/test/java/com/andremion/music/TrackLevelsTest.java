@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016 André Mion
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.andremion.music;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TrackLevelsTest {
+
+    @Test
+    public void update_mapsBandsFromInnerToOuterTracks() {
+        TrackLevels levels = new TrackLevels();
+        levels.setCounts(4, 2);
+
+        levels.update(new float[]{1, 0});
+
+        assertTrue(levels.get(0) > 0);
+        assertTrue(levels.get(1) > 0);
+        assertEquals(0, levels.get(2), 0);
+        assertEquals(0, levels.get(3), 0);
+    }
+
+    @Test
+    public void update_risesFasterThanItFalls() {
+        TrackLevels levels = new TrackLevels();
+        levels.setCounts(1, 1);
+
+        levels.update(new float[]{1});
+        float rise = levels.get(0);
+        levels.update(new float[]{0});
+        float fall = rise - levels.get(0);
+
+        assertTrue(rise > fall);
+    }
+
+    @Test
+    public void update_withoutData_decaysUntilSilent() {
+        TrackLevels levels = new TrackLevels();
+        levels.setCounts(3, 3);
+        assertTrue(levels.update(new float[]{1, 1, 1}));
+
+        int frames = 0;
+        while (levels.update(null)) {
+            frames++;
+            assertTrue("Never became silent", frames < 100);
+        }
+        for (int i = 0; i < levels.getTrackCount(); i++) {
+            assertEquals(0, levels.get(i), 0);
+        }
+        assertFalse(levels.update(new float[]{0, 0, 0}));
+    }
+
+}